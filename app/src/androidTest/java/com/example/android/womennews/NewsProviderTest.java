@@ -0,0 +1,84 @@
+package com.example.android.womennews;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.example.android.womennews.NewsContract.HeadlineEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Instrumented test of the local headline store behind the widget and the daily digest.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NewsProviderTest {
+
+    private static final String SUBJECT = "provider-test";
+
+    private ContentResolver mResolver;
+
+    @Before
+    public void setUp() {
+        mResolver = InstrumentationRegistry.getTargetContext().getContentResolver();
+    }
+
+    @After
+    public void tearDown() {
+        mResolver.delete(HeadlineEntry.CONTENT_URI,
+                HeadlineEntry.COLUMN_SUBJECT + "=?", new String[]{SUBJECT});
+    }
+
+    @Test
+    public void bulkInsert_replacesHeadlinesOfSubject() {
+        mResolver.bulkInsert(HeadlineEntry.CONTENT_URI, headlines("old", 4));
+        mResolver.bulkInsert(HeadlineEntry.CONTENT_URI, headlines("new", 5));
+
+        Cursor cursor = query(10);
+        try {
+            assertEquals(5, cursor.getCount());
+            assertTrue(cursor.moveToFirst());
+            assertEquals("new 0", cursor.getString(NewsProvider.INDEX_TITLE));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @Test
+    public void query_isLimited() {
+        mResolver.bulkInsert(HeadlineEntry.CONTENT_URI, headlines("story", 5));
+
+        Cursor cursor = query(3);
+        try {
+            assertEquals(3, cursor.getCount());
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private Cursor query(int limit) {
+        return mResolver.query(HeadlineEntry.limitedUri(limit), NewsProvider.HEADLINE_PROJECTION,
+                HeadlineEntry.COLUMN_SUBJECT + "=?", new String[]{SUBJECT},
+                HeadlineEntry.COLUMN_POSITION + " ASC");
+    }
+
+    private static ContentValues[] headlines(String title, int count) {
+        ContentValues[] values = new ContentValues[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = new ContentValues();
+            values[i].put(HeadlineEntry.COLUMN_SUBJECT, SUBJECT);
+            values[i].put(HeadlineEntry.COLUMN_POSITION, i);
+            values[i].put(HeadlineEntry.COLUMN_TITLE, title + " " + i);
+            values[i].put(HeadlineEntry.COLUMN_URL, "https://www.theguardian.com/" + title + "/" + i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.android.womennews;
+
+import android.app.AlarmManager;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.os.AsyncTask;
+import android.os.Build;
+import android.preference.PreferenceManager;
+import android.support.v4.app.NotificationCompat;
+import android.support.v4.app.NotificationManagerCompat;
+
+/**
+ * Posts the optional daily digest notification with the latest headlines of the configured
+ * subject. The headlines are read from the local store through {@link NewsProvider}, so the
+ * digest never goes to the network; it shows what the app loaded last.
+ * <p>
+ * The receiver is woken up once a day by an inexact alarm, and after a reboot to set the
+ * alarm again. The headlines are read on a background thread while the broadcast is kept
+ * alive with {@link #goAsync()}, so the main thread never waits for the database.
+ */
+public class DigestReceiver extends BroadcastReceiver {
+
+    /**
+     * Action of the daily alarm
+     */
+    private static final String ACTION_DIGEST = "com.example.android.womennews.action.DIGEST";
+
+    /**
+     * ID of the notification channel of the digest (Android O and newer)
+     */
+    private static final String CHANNEL_ID = "digest";
+
+    /**
+     * ID of the digest notification, so every digest replaces the previous one
+     */
+    private static final int NOTIFICATION_ID = 1;
+
+    /**
+     * Largest number of headlines shown in the digest
+     */
+    private static final int MAX_HEADLINES = 5;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (Intent.ACTION_BOOT_COMPLETED.equals(intent.getAction())) {
+            schedule(context);
+        } else if (ACTION_DIGEST.equals(intent.getAction())) {
+            final PendingResult result = goAsync();
+            final Context appContext = context.getApplicationContext();
+            AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (isEnabled(appContext)) {
+                            showDigest(appContext);
+                        }
+                    } finally {
+                        result.finish();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets or cancels the daily alarm, depending on the digest setting. An alarm that is
+     * already set is left as it is, so opening the app doesn't push the next digest back.
+     */
+    static void schedule(Context context) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        Intent digestIntent = new Intent(context, DigestReceiver.class).setAction(ACTION_DIGEST);
+        // Only look up the alarm intent, it exists only while the alarm is set
+        PendingIntent alarmIntent = PendingIntent.getBroadcast(context, 0, digestIntent,
+                PendingIntent.FLAG_NO_CREATE);
+
+        if (isEnabled(context)) {
+            if (alarmIntent != null) {
+                return;
+            }
+            alarmIntent = PendingIntent.getBroadcast(context, 0, digestIntent, 0);
+            // Inexact, so the system can batch it with other alarms and save battery
+            alarmManager.setInexactRepeating(AlarmManager.RTC,
+                    System.currentTimeMillis() + AlarmManager.INTERVAL_DAY,
+                    AlarmManager.INTERVAL_DAY, alarmIntent);
+        } else if (alarmIntent != null) {
+            alarmManager.cancel(alarmIntent);
+            // Cancel the intent as well, so the next check sees that no alarm is set
+            alarmIntent.cancel();
+        }
+    }
+
+    /**
+     * Returns true if the user turned the daily digest on in the settings.
+     */
+    private static boolean isEnabled(Context context) {
+        SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+        return sharedPrefs.getBoolean(context.getString(R.string.settings_daily_digest_key),
+                context.getResources().getBoolean(R.bool.settings_daily_digest_default));
+    }
+
+    /**
+     * Posts the digest notification, unless there are no stored headlines yet. This queries
+     * the local store, so call it from a background thread.
+     */
+    private static void showDigest(Context context) {
+        NotificationCompat.InboxStyle inboxStyle = new NotificationCompat.InboxStyle();
+        String firstHeadline = null;
+        int headlines = 0;
+        Cursor cursor = NewsProvider.queryLatestHeadlines(context, MAX_HEADLINES);
+        if (cursor != null) {
+            try {
+                while (cursor.moveToNext()) {
+                    String title = NewsAdapter.splitTitle(
+                            cursor.getString(NewsProvider.INDEX_TITLE))[0];
+                    if (firstHeadline == null) {
+                        firstHeadline = title;
+                    }
+                    inboxStyle.addLine(title);
+                    headlines++;
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+        if (headlines == 0) {
+            return;
+        }
+
+        String subject = NewsProvider.configuredSubject(context);
+        inboxStyle.setBigContentTitle(context.getString(R.string.digest_title, subject));
+
+        createChannel(context);
+        PendingIntent appIntent = PendingIntent.getActivity(context, 0,
+                new Intent(context, MainActivity.class), 0);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_stat_digest)
+                .setContentTitle(context.getString(R.string.digest_title, subject))
+                .setContentText(firstHeadline)
+                .setNumber(headlines)
+                .setStyle(inboxStyle)
+                .setContentIntent(appIntent)
+                .setAutoCancel(true)
+                .setPriority(NotificationCompat.PRIORITY_LOW);
+
+        NotificationManagerCompat.from(context).notify(NOTIFICATION_ID, builder.build());
+    }
+
+    /**
+     * Creates the notification channel of the digest, which is needed on Android O and newer.
+     */
+    private static void createChannel(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return;
+        }
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID,
+                context.getString(R.string.digest_channel_name), NotificationManager.IMPORTANCE_LOW);
+        NotificationManager notificationManager =
+                (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.createNotificationChannel(channel);
+    }
+}
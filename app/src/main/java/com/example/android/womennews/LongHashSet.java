@@ -0,0 +1,137 @@
+package com.example.android.womennews;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive long values backed by a single open-addressing array.
+ * <p>
+ * Unlike a {@code HashSet<Long>} it doesn't box the values or allocate an entry object per
+ * element, so it takes 16 bytes or less per value and lookups don't create any garbage.
+ * This class is not thread-safe.
+ */
+class LongHashSet {
+
+    /**
+     * Value that marks a free slot in the table. The real zero value is tracked separately.
+     */
+    private static final long FREE = 0L;
+
+    /**
+     * Smallest table size, must be a power of two
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Slots of the table, linear probing is used on collisions
+     */
+    private long[] mTable;
+
+    /**
+     * Number of values in the table (not counting zero)
+     */
+    private int mTableSize;
+
+    /**
+     * Whether the set contains zero, which can't be stored in the table
+     */
+    private boolean mHasZero;
+
+    /**
+     * Constructs a new {@link LongHashSet} able to hold the expected number of values
+     * without growing.
+     */
+    LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        // Keep the table at most half full so probe sequences stay short
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        mTable = new long[capacity];
+    }
+
+    /**
+     * Adds the value to the set. Returns true if it wasn't in the set yet.
+     */
+    boolean add(long value) {
+        if (value == FREE) {
+            boolean added = !mHasZero;
+            mHasZero = true;
+            return added;
+        }
+        int mask = mTable.length - 1;
+        int slot = slot(value, mask);
+        while (mTable[slot] != FREE) {
+            if (mTable[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        mTable[slot] = value;
+        mTableSize++;
+        if (mTableSize * 2 > mTable.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the value is in the set.
+     */
+    boolean contains(long value) {
+        if (value == FREE) {
+            return mHasZero;
+        }
+        int mask = mTable.length - 1;
+        int slot = slot(value, mask);
+        while (mTable[slot] != FREE) {
+            if (mTable[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     */
+    int size() {
+        return mTableSize + (mHasZero ? 1 : 0);
+    }
+
+    /**
+     * Removes all the values, keeping the current table.
+     */
+    void clear() {
+        Arrays.fill(mTable, FREE);
+        mTableSize = 0;
+        mHasZero = false;
+    }
+
+    /**
+     * Doubles the table and puts every value in its new slot.
+     */
+    private void grow() {
+        long[] oldTable = mTable;
+        mTable = new long[oldTable.length * 2];
+        int mask = mTable.length - 1;
+        for (long value : oldTable) {
+            if (value != FREE) {
+                int slot = slot(value, mask);
+                while (mTable[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                mTable[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Returns the first slot to probe for the value. The bits are scrambled first so values
+     * that only differ in their high bits don't pile up in the same part of the table.
+     */
+    private static int slot(long value, int mask) {
+        long hash = value * 0x9e3779b97f4a7c15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
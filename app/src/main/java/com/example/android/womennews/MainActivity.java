@@ -74,6 +74,10 @@ public class MainActivity extends AppCompatActivity
                 // Find the current news that was clicked on
                 News currentNews = mAdapter.getItem(position);
 
+                // Remember the news as read and dim it in the list
+                ReadStateStore.getInstance(MainActivity.this).markRead(currentNews.getUrl());
+                mAdapter.notifyDataSetChanged();
+
                 // Convert the String URL into a URI object (to pass into the Intent constructor)
                 Uri newsUri = Uri.parse(currentNews.getUrl());
 
@@ -85,6 +89,13 @@ public class MainActivity extends AppCompatActivity
             }
         });
 
+        // Requery the Guardian data when the query settings are updated
+        PreferenceManager.getDefaultSharedPreferences(this)
+                .registerOnSharedPreferenceChangeListener(this);
+
+        // Make sure the daily digest alarm matches the setting
+        DigestReceiver.schedule(this);
+
         // Get a reference to the ConnectivityManager to check state of network connectivity
         ConnectivityManager connMgr = (ConnectivityManager)
                 getSystemService(Context.CONNECTIVITY_SERVICE);
@@ -112,10 +123,22 @@ public class MainActivity extends AppCompatActivity
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        PreferenceManager.getDefaultSharedPreferences(this)
+                .unregisterOnSharedPreferenceChangeListener(this);
+    }
+
     @Override
     public void onSharedPreferenceChanged(SharedPreferences prefs, String key) {
+        if (key.equals(getString(R.string.settings_daily_digest_key))) {
+            DigestReceiver.schedule(this);
+            return;
+        }
         if (key.equals(getString(R.string.settings_default_subject_key)) ||
-                key.equals(getString(R.string.settings_order_by_key))) {
+                key.equals(getString(R.string.settings_order_by_key)) ||
+                key.equals(getString(R.string.settings_read_stories_key))) {
             // Clear the ListView as a new query will be kicked off
             mAdapter.clear();
 
@@ -146,6 +169,12 @@ public class MainActivity extends AppCompatActivity
                 getString(R.string.settings_order_by_default)
         );
 
+        String readStories = sharedPrefs.getString(
+                getString(R.string.settings_read_stories_key),
+                getString(R.string.settings_read_stories_default)
+        );
+        boolean hideRead = readStories.equals(getString(R.string.settings_read_stories_hide_value));
+
         Uri baseUri = Uri.parse(GUARDIAN_REQUEST_URL);
         Uri.Builder uriBuilder = baseUri.buildUpon();
 
@@ -157,7 +186,7 @@ public class MainActivity extends AppCompatActivity
         uriBuilder.appendQueryParameter("order-by", "newest");
         uriBuilder.appendQueryParameter("show-tags", "keyword");
 
-        return new NewsLoader(this, uriBuilder.toString());
+        return new NewsLoader(this, uriBuilder.toString(), defSubject, hideRead);
     }
 
     @Override
@@ -18,6 +18,16 @@ import java.util.List;
  */
 public class NewsAdapter extends ArrayAdapter<News> {
 
+    /**
+     * Opacity of the list items of stories the user has already opened
+     */
+    private static final float READ_ALPHA = 0.5f;
+
+    /**
+     * Stories the user has already opened
+     */
+    private ReadStateStore mReadState;
+
     /**
      * Constructs a new {@link NewsAdapter}.
      *
@@ -27,6 +37,7 @@ public class NewsAdapter extends ArrayAdapter<News> {
 
     public NewsAdapter(Context context, List<News> womennews) {
         super(context, 0, womennews);
+        mReadState = ReadStateStore.getInstance(context);
     }
 
     /**
@@ -49,52 +60,28 @@ public class NewsAdapter extends ArrayAdapter<News> {
         TextView sectionNameView = listItemView.findViewById(R.id.sectionname);
         // Display section name of the current news in that TextView
         sectionNameView.setText(currentNews.getSectionName());
-        // Find the original publication date in the News object
-        String storyFullDate = currentNews.getWebPublicationDate();
-        // Create story date & time from original publication date by splitting a string into 2 strings
-        // and showing them in two independent views
-        String storyDate;
-        String storyTime;
-        // Split the string
-        if (storyFullDate.contains("T")) {
-            String[] parts = storyFullDate.split("T");
-            storyDate = parts[0];
-            storyTime = " " + parts[1];
-            // Cut the "Z" (for time zone) from storyTime as it is not needed in this project
-            if (storyTime.endsWith("Z")) {
-                storyTime = storyTime.substring(0, storyTime.length() - 4);
-            }
+        // Create story date & time from original publication date
+        // and show them in two independent views
+        String[] storyDateTime = splitPublicationDate(currentNews.getWebPublicationDate());
+        if (storyDateTime != null) {
             // Find a view and display storyDate in in it
             TextView publicationDateView = listItemView.findViewById(R.id.publicationdate);
-            publicationDateView.setText(storyDate);
+            publicationDateView.setText(storyDateTime[0]);
             // Find a view and display storyTime in in it
             TextView publicationTimeView = listItemView.findViewById(R.id.publicationtime);
-            publicationTimeView.setText(storyTime);
+            publicationTimeView.setText(storyDateTime[1]);
         }
 
-        // Get the original news title form the News object
-        String newsTitle = currentNews.getWebTitle();
-        String storyTitle;
-        String storyAuthor;
-// Cut out everything that randomly shows up after | separator
-        if (newsTitle.contains(" | ")) {
-            String[] parts = newsTitle.split("[|] ");
-            storyTitle = parts[0];
-            storyAuthor = parts[1];
-            // Find the TextView with view ID webtitle
-            TextView webTitleView = listItemView.findViewById(R.id.webtitle);
-            // Display the title of the current news in that TextView
-            webTitleView.setText(storyTitle);
+        // Split the original news title from the News object into the title and the author
+        String[] storyTitleAuthor = splitTitle(currentNews.getWebTitle());
+        // Find the TextView with view ID webtitle
+        TextView webTitleView = listItemView.findViewById(R.id.webtitle);
+        // Display the title of the current news in that TextView
+        webTitleView.setText(storyTitleAuthor[0]);
+        if (storyTitleAuthor[1] != null) {
             // Find the TextView with view ID author and show the author name in it
             TextView storyAuthorView = listItemView.findViewById(R.id.author);
-            storyAuthorView.setText(storyAuthor);
-
-        } else {
-            storyTitle = newsTitle;
-            // Find the TextView with view ID webtitle
-            TextView webTitleView = listItemView.findViewById(R.id.webtitle);
-            // Display the title of the current news in that TextView
-            webTitleView.setText(storyTitle);
+            storyAuthorView.setText(storyTitleAuthor[1]);
         }
         // Find the TextView with view ID url
         TextView newsUrlView = listItemView.findViewById(R.id.url);
@@ -102,7 +89,41 @@ public class NewsAdapter extends ArrayAdapter<News> {
         //  to let user know it is clickable in case he doesn't know that whole view has a browser intent
         newsUrlView.setText(R.string.read_more);
 
+        // Dim the stories the user has already opened
+        listItemView.setAlpha(mReadState.isRead(currentNews.getUrl()) ? READ_ALPHA : 1f);
+
         // Return the list item view with all news
         return listItemView;
     }
+
+    /**
+     * Splits the original publication date into the story date and the story time,
+     * or returns null if the date has no time part.
+     */
+    static String[] splitPublicationDate(String storyFullDate) {
+        if (!storyFullDate.contains("T")) {
+            return null;
+        }
+        String[] parts = storyFullDate.split("T");
+        String storyDate = parts[0];
+        String storyTime = " " + parts[1];
+        // Cut the "Z" (for time zone) from storyTime as it is not needed in this project
+        if (storyTime.endsWith("Z")) {
+            storyTime = storyTime.substring(0, storyTime.length() - 4);
+        }
+        return new String[]{storyDate, storyTime};
+    }
+
+    /**
+     * Splits the original news title into the story title and the author (or source)
+     * that shows up after the | separator. The author is null if there is no separator.
+     */
+    static String[] splitTitle(String newsTitle) {
+        // Cut out everything that randomly shows up after | separator
+        if (newsTitle.contains(" | ")) {
+            String[] parts = newsTitle.split("[|] ");
+            return new String[]{parts[0], parts[1]};
+        }
+        return new String[]{newsTitle, null};
+    }
 }
\ No newline at end of file
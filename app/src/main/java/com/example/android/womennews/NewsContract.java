@@ -0,0 +1,119 @@
+package com.example.android.womennews;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.provider.BaseColumns;
+
+/**
+ * API Contract for the local store of the latest headlines.
+ */
+public final class NewsContract {
+
+    /**
+     * Create a private constructor because no one should ever create a {@link NewsContract}
+     * object. This class is only meant to hold constants.
+     */
+    private NewsContract() {
+    }
+
+    /**
+     * Name of the content provider, the same as the package name of the app
+     */
+    public static final String CONTENT_AUTHORITY = "com.example.android.womennews";
+
+    /**
+     * Base of all URIs that apps will use to contact the content provider
+     */
+    public static final Uri BASE_CONTENT_URI = Uri.parse("content://" + CONTENT_AUTHORITY);
+
+    /**
+     * Path appended to the base content URI for the headlines table
+     */
+    public static final String PATH_HEADLINES = "headlines";
+
+    /**
+     * Query parameter that limits the number of returned rows
+     */
+    public static final String QUERY_PARAMETER_LIMIT = "limit";
+
+    /**
+     * Inner class that defines constant values for the headlines table.
+     * Each row is one story of the latest refresh for a subject.
+     */
+    public static final class HeadlineEntry implements BaseColumns {
+
+        /**
+         * The content URI to access the headlines in the provider
+         */
+        public static final Uri CONTENT_URI = Uri.withAppendedPath(BASE_CONTENT_URI, PATH_HEADLINES);
+
+        /**
+         * The MIME type of the {@link #CONTENT_URI} for a list of headlines.
+         */
+        public static final String CONTENT_LIST_TYPE =
+                ContentResolver.CURSOR_DIR_BASE_TYPE + "/" + CONTENT_AUTHORITY + "/" + PATH_HEADLINES;
+
+        /**
+         * Name of database table for headlines
+         */
+        public static final String TABLE_NAME = "headlines";
+
+        /**
+         * Unique ID number for the headline (only for use in the database table).
+         * <p>
+         * Type: INTEGER
+         */
+        public static final String _ID = BaseColumns._ID;
+
+        /**
+         * Subject the story was loaded for.
+         * <p>
+         * Type: TEXT
+         */
+        public static final String COLUMN_SUBJECT = "subject";
+
+        /**
+         * Position of the story in the refresh it was loaded in, newest first.
+         * <p>
+         * Type: INTEGER
+         */
+        public static final String COLUMN_POSITION = "position";
+
+        /**
+         * Section name of the story.
+         * <p>
+         * Type: TEXT
+         */
+        public static final String COLUMN_SECTION_NAME = "section_name";
+
+        /**
+         * Publication date of the story.
+         * <p>
+         * Type: TEXT
+         */
+        public static final String COLUMN_PUBLICATION_DATE = "publication_date";
+
+        /**
+         * Original title of the story.
+         * <p>
+         * Type: TEXT
+         */
+        public static final String COLUMN_TITLE = "title";
+
+        /**
+         * Website URL of the story.
+         * <p>
+         * Type: TEXT
+         */
+        public static final String COLUMN_URL = "url";
+
+        /**
+         * Returns the content URI for at most the given number of headlines.
+         */
+        public static Uri limitedUri(int limit) {
+            return CONTENT_URI.buildUpon()
+                    .appendQueryParameter(QUERY_PARAMETER_LIMIT, String.valueOf(limit))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.android.womennews;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.android.womennews.NewsContract.HeadlineEntry;
+
+/**
+ * Database helper for the local store of the latest headlines.
+ * Manages database creation and version management.
+ */
+public class NewsDbHelper extends SQLiteOpenHelper {
+
+    /**
+     * Name of the database file
+     */
+    private static final String DATABASE_NAME = "news.db";
+
+    /**
+     * Database version. If you change the database schema, you must increment the database version.
+     */
+    private static final int DATABASE_VERSION = 1;
+
+    /**
+     * Constructs a new instance of {@link NewsDbHelper}.
+     *
+     * @param context of the app
+     */
+    public NewsDbHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * This is called when the database is created for the first time.
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        // Create a String that contains the SQL statement to create the headlines table
+        String SQL_CREATE_HEADLINES_TABLE = "CREATE TABLE " + HeadlineEntry.TABLE_NAME + " ("
+                + HeadlineEntry._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + HeadlineEntry.COLUMN_SUBJECT + " TEXT NOT NULL, "
+                + HeadlineEntry.COLUMN_POSITION + " INTEGER NOT NULL, "
+                + HeadlineEntry.COLUMN_SECTION_NAME + " TEXT, "
+                + HeadlineEntry.COLUMN_PUBLICATION_DATE + " TEXT, "
+                + HeadlineEntry.COLUMN_TITLE + " TEXT NOT NULL, "
+                + HeadlineEntry.COLUMN_URL + " TEXT);";
+
+        // The widget and the digest only read the first few headlines of one subject,
+        // so this index lets them do it without scanning the table
+        String SQL_CREATE_SUBJECT_INDEX = "CREATE INDEX headlines_subject_position ON "
+                + HeadlineEntry.TABLE_NAME + " ("
+                + HeadlineEntry.COLUMN_SUBJECT + ", " + HeadlineEntry.COLUMN_POSITION + ");";
+
+        // Execute the SQL statements
+        db.execSQL(SQL_CREATE_HEADLINES_TABLE);
+        db.execSQL(SQL_CREATE_SUBJECT_INDEX);
+    }
+
+    /**
+     * This is called when the database needs to be upgraded.
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The database is still at version 1, so there's nothing to be done here.
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.android.womennews;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds duplicate and near-duplicate {@link News} stories into a single entry.
+ * <p>
+ * The Guardian returns the same story under several sections, and updated versions of a story
+ * often come back with a slightly changed title. Two stories are treated as the same one if
+ * they share a canonical URL, or if the words of one normalized title are all found in the
+ * other and the two word sets have a Jaccard similarity of at least
+ * {@link #SIMILARITY_THRESHOLD}. Updates add a word or two ("the", "live"), while different
+ * stories usually swap one ("Serena" for "Venus", "Spain" for "Germany"), so titles that
+ * replace a word are never folded however similar they are. Titles are only compared for
+ * stories published less than {@link #MAX_UPDATE_GAP_MILLIS} apart, because recurring titles
+ * ("Corrections and clarifications", a live blog of every match) belong to different stories
+ * on different days.
+ * <p>
+ * Candidates are found with a MinHash signature of {@link #SIGNATURE_SIZE} values over the
+ * words. Instead of comparing every pair of stories, the signature is split into bands and
+ * every band is hashed into a bucket; a story is only compared with the stories it shares a
+ * bucket with, which keeps the whole pass linear in the number of stories.
+ */
+public final class NewsDeduplicator {
+
+    /**
+     * Smallest Jaccard similarity of the words of two titles for them to count as the same story
+     */
+    static final double SIMILARITY_THRESHOLD = 0.8;
+
+    /**
+     * Smallest number of words a title needs before a longer title counts as an update of it.
+     * On shorter titles a single added word is usually a qualifier that changes the story
+     * ("Women" and "Women directors"), so they are only folded when they have the same words.
+     */
+    static final int MIN_WORDS_FOR_UPDATE = 5;
+
+    /**
+     * Largest time between the publication dates of two stories for their titles to be
+     * compared. Stories with the same title published further apart are kept.
+     */
+    static final long MAX_UPDATE_GAP_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * Marks a publication date that couldn't be read. Such stories are only folded by URL.
+     */
+    private static final long UNKNOWN_DATE = Long.MIN_VALUE;
+
+    /**
+     * Number of MinHash values in the signature of a title
+     */
+    private static final int SIGNATURE_SIZE = 64;
+
+    /**
+     * Number of signature values hashed together into one bucket. With 16 bands of 4 values,
+     * titles at the threshold practically always share a bucket, while unrelated titles
+     * almost never do.
+     */
+    private static final int ROWS_PER_BAND = 4;
+
+    /**
+     * Number of bands the signature is split into
+     */
+    private static final int BANDS = SIGNATURE_SIZE / ROWS_PER_BAND;
+
+    /**
+     * Create a private constructor because no one should ever create a {@link NewsDeduplicator}
+     * object. This class is only meant to hold static methods.
+     */
+    private NewsDeduplicator() {
+    }
+
+    /**
+     * Returns a new list with the duplicates removed. The first occurrence of every story is
+     * kept, so the order of the original list (e.g. newest first) is preserved.
+     */
+    public static List<News> deduplicate(List<News> womennews) {
+        if (womennews == null || womennews.isEmpty()) {
+            return womennews;
+        }
+
+        List<News> unique = new ArrayList<>(womennews.size());
+        Set<String> seenUrls = new HashSet<>();
+        // Title words of kept stories, indexed the same way as the unique list
+        List<Set<String>> titleWords = new ArrayList<>(womennews.size());
+        // Publication times of kept stories, indexed the same way as the unique list
+        long[] publishedAt = new long[womennews.size()];
+        SimpleDateFormat dateFormat = newDateFormat();
+        // Band bucket -> indexes of kept stories whose signature falls into that bucket
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        long[] bandKeys = new long[BANDS];
+
+        for (News news : womennews) {
+            String url = canonicalUrl(news.getUrl());
+            if (url != null && !seenUrls.add(url)) {
+                continue;
+            }
+
+            Set<String> words = titleWords(news.getWebTitle());
+            long time = parseDate(dateFormat, news.getWebPublicationDate());
+            long[] signature = minHash(words);
+            if (signature != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    bandKeys[band] = bandKey(signature, band);
+                }
+                if (findNearDuplicate(words, time, bandKeys, buckets, titleWords, publishedAt)) {
+                    continue;
+                }
+            }
+
+            int index = unique.size();
+            unique.add(news);
+            titleWords.add(words);
+            publishedAt[index] = time;
+            if (signature != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    List<Integer> bucket = buckets.get(bandKeys[band]);
+                    if (bucket == null) {
+                        bucket = new ArrayList<>(1);
+                        buckets.put(bandKeys[band], bucket);
+                    }
+                    bucket.add(index);
+                }
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Returns true if an already kept story shares a bucket with the given title, was
+     * published around the same time and is the same story.
+     */
+    private static boolean findNearDuplicate(Set<String> words, long time, long[] bandKeys,
+                                             Map<Long, List<Integer>> buckets,
+                                             List<Set<String>> titleWords, long[] publishedAt) {
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> bucket = buckets.get(bandKeys[band]);
+            if (bucket == null) {
+                continue;
+            }
+            for (int index : bucket) {
+                if (isCloseInTime(publishedAt[index], time)
+                        && isSameStory(titleWords.get(index), words)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the words of one title are all in the other one and the two titles
+     * are similar enough. Since one set contains the other, their Jaccard similarity is
+     * simply the size of the smaller set divided by the size of the larger one.
+     */
+    static boolean isSameStory(Set<String> first, Set<String> second) {
+        Set<String> smaller = first.size() <= second.size() ? first : second;
+        Set<String> larger = smaller == first ? second : first;
+        if (smaller.size() < SIMILARITY_THRESHOLD * larger.size()) {
+            return false;
+        }
+        if (smaller.size() < larger.size() && smaller.size() < MIN_WORDS_FOR_UPDATE) {
+            return false;
+        }
+        return larger.containsAll(smaller);
+    }
+
+    /**
+     * Returns true if both publication times are known and less than
+     * {@link #MAX_UPDATE_GAP_MILLIS} apart.
+     */
+    static boolean isCloseInTime(long first, long second) {
+        if (first == UNKNOWN_DATE || second == UNKNOWN_DATE) {
+            return false;
+        }
+        return Math.abs(first - second) < MAX_UPDATE_GAP_MILLIS;
+    }
+
+    /**
+     * Returns a parser for the publication dates of the Guardian API, e.g. 2018-10-24T10:15:00Z.
+     * A {@link SimpleDateFormat} isn't thread-safe, so every pass creates its own.
+     */
+    private static SimpleDateFormat newDateFormat() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return dateFormat;
+    }
+
+    /**
+     * Returns the publication date in milliseconds, or {@link #UNKNOWN_DATE} if it can't be read.
+     */
+    private static long parseDate(SimpleDateFormat dateFormat, String webPublicationDate) {
+        if (webPublicationDate == null) {
+            return UNKNOWN_DATE;
+        }
+        try {
+            return dateFormat.parse(webPublicationDate).getTime();
+        } catch (ParseException e) {
+            return UNKNOWN_DATE;
+        }
+    }
+
+    /**
+     * Hashes one band of the signature into a bucket key. The band number is mixed in as well,
+     * so equal values in different bands don't end up in the same bucket.
+     */
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            key = mix64(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the set of words of the normalized title.
+     */
+    static Set<String> titleWords(String webTitle) {
+        String title = normalizeTitle(webTitle);
+        Set<String> words = new HashSet<>();
+        if (!title.isEmpty()) {
+            words.addAll(Arrays.asList(title.split(" ")));
+        }
+        return words;
+    }
+
+    /**
+     * Computes the MinHash signature of the words of a title, or returns null if the title
+     * has no words.
+     */
+    static long[] minHash(Set<String> words) {
+        if (words.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[SIGNATURE_SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        for (String word : words) {
+            long wordHash = hash64(word);
+            // Derive every hash function of the signature from the word hash with its own seed
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                long hash = mix64(wordHash + (i + 1) * 0x9e3779b97f4a7c15L);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Returns the URL of the story without the scheme, query string, fragment and trailing
+     * slash, so the same article reached through different links gives the same value.
+     */
+    static String canonicalUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        String canonical = url.trim();
+        int cut = canonical.indexOf('#');
+        if (cut >= 0) {
+            canonical = canonical.substring(0, cut);
+        }
+        cut = canonical.indexOf('?');
+        if (cut >= 0) {
+            canonical = canonical.substring(0, cut);
+        }
+        int scheme = canonical.indexOf("://");
+        if (scheme >= 0) {
+            canonical = canonical.substring(scheme + 3);
+        }
+        while (canonical.endsWith("/")) {
+            canonical = canonical.substring(0, canonical.length() - 1);
+        }
+        if (canonical.isEmpty()) {
+            return null;
+        }
+        return canonical.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the title in lower case, with the " | " suffix cut off (the same way
+     * {@link NewsAdapter} does it) and everything but letters and digits turned into
+     * single spaces.
+     */
+    static String normalizeTitle(String webTitle) {
+        if (webTitle == null) {
+            return "";
+        }
+        String title = webTitle;
+        int separator = title.indexOf(" | ");
+        if (separator >= 0) {
+            title = title.substring(0, separator);
+        }
+
+        StringBuilder normalized = new StringBuilder(title.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns a 64-bit hash of the text: FNV-1a over its characters, finished with
+     * {@link #mix64(long)} so that similar texts give unrelated values.
+     */
+    static long hash64(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * Spreads the bits of the value over the whole long (the MurmurHash3 finalizer).
+     */
+    private static long mix64(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
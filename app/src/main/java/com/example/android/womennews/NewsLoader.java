@@ -1,8 +1,11 @@
 package com.example.android.womennews;
 
 import android.content.AsyncTaskLoader;
+import android.content.ContentValues;
 import android.content.Context;
 
+import com.example.android.womennews.NewsContract.HeadlineEntry;
+
 import java.util.List;
 
 /**
@@ -20,15 +23,29 @@ public class NewsLoader extends AsyncTaskLoader<List<News>> {
      */
     private String mUrl;
 
+    /**
+     * Subject the stories are loaded for
+     */
+    private String mSubject;
+
+    /**
+     * Whether stories the user has already opened should be left out
+     */
+    private boolean mHideRead;
+
     /**
      * Constructs a new {@link NewsLoader}.
      *
-     * @param context of the activity
-     * @param url     to load data from
+     * @param context  of the activity
+     * @param url      to load data from
+     * @param subject  the stories are loaded for
+     * @param hideRead is true if stories the user has already opened should be left out
      */
-    public NewsLoader(Context context, String url) {
+    public NewsLoader(Context context, String url, String subject, boolean hideRead) {
         super(context);
         mUrl = url;
+        mSubject = subject;
+        mHideRead = hideRead;
     }
 
     @Override
@@ -45,8 +62,42 @@ public class NewsLoader extends AsyncTaskLoader<List<News>> {
             return null;
         }
 
+        // Read the log of opened stories here rather than on the main thread
+        ReadStateStore readState = ReadStateStore.getInstance(getContext());
+        readState.load();
+
         // Perform the network request, parse the response, and extract a list of news.
         List<News> womennews = Queries.bringWomenNewsData(mUrl);
-        return womennews;
+
+        // Keep the stories in the local store for the widget and the daily digest
+        if (womennews != null && !womennews.isEmpty()) {
+            storeHeadlines(womennews);
+        }
+
+        // Refresh the home-screen widgets here rather than on the main thread, even if the
+        // request failed, so they show the stored headlines of a newly chosen subject
+        NewsWidgetProvider.updateAllWidgets(getContext());
+
+        // Show the stories the user hasn't opened yet first
+        return readState.unreadFirst(womennews, mHideRead);
+    }
+
+    /**
+     * Replaces the stored headlines of the subject with the given stories, in the order they
+     * were loaded.
+     */
+    private void storeHeadlines(List<News> womennews) {
+        ContentValues[] values = new ContentValues[womennews.size()];
+        for (int i = 0; i < values.length; i++) {
+            News news = womennews.get(i);
+            values[i] = new ContentValues();
+            values[i].put(HeadlineEntry.COLUMN_SUBJECT, mSubject);
+            values[i].put(HeadlineEntry.COLUMN_POSITION, i);
+            values[i].put(HeadlineEntry.COLUMN_SECTION_NAME, news.getSectionName());
+            values[i].put(HeadlineEntry.COLUMN_PUBLICATION_DATE, news.getWebPublicationDate());
+            values[i].put(HeadlineEntry.COLUMN_TITLE, news.getWebTitle());
+            values[i].put(HeadlineEntry.COLUMN_URL, news.getUrl());
+        }
+        getContext().getContentResolver().bulkInsert(HeadlineEntry.CONTENT_URI, values);
     }
 }
\ No newline at end of file
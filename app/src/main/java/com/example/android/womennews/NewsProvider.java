@@ -0,0 +1,208 @@
+package com.example.android.womennews;
+
+import android.content.ContentProvider;
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.UriMatcher;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.net.Uri;
+import android.preference.PreferenceManager;
+import android.util.Log;
+
+import com.example.android.womennews.NewsContract.HeadlineEntry;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link ContentProvider} for the local store of the latest headlines.
+ * <p>
+ * {@link NewsLoader} writes every successful refresh here, and the home-screen widget and the
+ * daily digest read from here, so neither of them has to go to the network or start
+ * {@link MainActivity}.
+ */
+public class NewsProvider extends ContentProvider {
+
+    /**
+     * Tag for the log messages
+     */
+    private static final String LOG_TAG = NewsProvider.class.getSimpleName();
+
+    /**
+     * URI matcher code for the content URI for the headlines table
+     */
+    private static final int HEADLINES = 100;
+
+    /**
+     * UriMatcher object to match a content URI to a corresponding code.
+     */
+    private static final UriMatcher sUriMatcher = new UriMatcher(UriMatcher.NO_MATCH);
+
+    static {
+        sUriMatcher.addURI(NewsContract.CONTENT_AUTHORITY, NewsContract.PATH_HEADLINES, HEADLINES);
+    }
+
+    /**
+     * Columns the widget and the digest show for a headline
+     */
+    static final String[] HEADLINE_PROJECTION = {
+            HeadlineEntry.COLUMN_TITLE,
+            HeadlineEntry.COLUMN_URL
+    };
+
+    /**
+     * Index of the title in {@link #HEADLINE_PROJECTION}
+     */
+    static final int INDEX_TITLE = 0;
+
+    /**
+     * Index of the URL in {@link #HEADLINE_PROJECTION}
+     */
+    static final int INDEX_URL = 1;
+
+    /**
+     * Database helper object
+     */
+    private NewsDbHelper mDbHelper;
+
+    /**
+     * Returns the subject configured in the settings.
+     */
+    static String configuredSubject(Context context) {
+        SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+        return sharedPrefs.getString(
+                context.getString(R.string.settings_default_subject_key),
+                context.getString(R.string.settings_default_subject));
+    }
+
+    /**
+     * Returns at most the given number of the latest stored headlines of the configured
+     * subject, newest first, with the columns of {@link #HEADLINE_PROJECTION}.
+     * This only reads the local store and never goes to the network.
+     */
+    static Cursor queryLatestHeadlines(Context context, int limit) {
+        return context.getContentResolver().query(
+                HeadlineEntry.limitedUri(limit),
+                HEADLINE_PROJECTION,
+                HeadlineEntry.COLUMN_SUBJECT + "=?",
+                new String[]{configuredSubject(context)},
+                HeadlineEntry.COLUMN_POSITION + " ASC");
+    }
+
+    @Override
+    public boolean onCreate() {
+        mDbHelper = new NewsDbHelper(getContext());
+        return true;
+    }
+
+    /**
+     * Perform the query for the given URI. An optional {@link NewsContract#QUERY_PARAMETER_LIMIT}
+     * query parameter limits the number of returned rows.
+     */
+    @Override
+    public Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs,
+                        String sortOrder) {
+        int match = sUriMatcher.match(uri);
+        if (match != HEADLINES) {
+            throw new IllegalArgumentException("Cannot query unknown URI " + uri);
+        }
+
+        SQLiteDatabase database = mDbHelper.getReadableDatabase();
+        String limit = uri.getQueryParameter(NewsContract.QUERY_PARAMETER_LIMIT);
+        Cursor cursor = database.query(HeadlineEntry.TABLE_NAME, projection, selection,
+                selectionArgs, null, null, sortOrder, limit);
+
+        // Set notification URI on the Cursor,
+        // so we know what content URI the Cursor was created for.
+        // If the data at this URI changes, then we know we need to update the Cursor.
+        cursor.setNotificationUri(getContext().getContentResolver(), HeadlineEntry.CONTENT_URI);
+        return cursor;
+    }
+
+    @Override
+    public Uri insert(Uri uri, ContentValues contentValues) {
+        throw new IllegalArgumentException("Insertion is not supported for " + uri
+                + ", use bulkInsert to replace the headlines of a subject");
+    }
+
+    /**
+     * Replaces the headlines of every subject found in the given values with the given values,
+     * in a single transaction so readers never see a half written refresh.
+     */
+    @Override
+    public int bulkInsert(Uri uri, ContentValues[] values) {
+        int match = sUriMatcher.match(uri);
+        if (match != HEADLINES) {
+            throw new IllegalArgumentException("Insertion is not supported for " + uri);
+        }
+
+        Set<String> subjects = new HashSet<>();
+        for (ContentValues value : values) {
+            String subject = value.getAsString(HeadlineEntry.COLUMN_SUBJECT);
+            String title = value.getAsString(HeadlineEntry.COLUMN_TITLE);
+            if (subject == null || title == null) {
+                throw new IllegalArgumentException("Headline requires a subject and a title");
+            }
+            subjects.add(subject);
+        }
+
+        SQLiteDatabase database = mDbHelper.getWritableDatabase();
+        int inserted = 0;
+        database.beginTransaction();
+        try {
+            for (String subject : subjects) {
+                database.delete(HeadlineEntry.TABLE_NAME,
+                        HeadlineEntry.COLUMN_SUBJECT + "=?", new String[]{subject});
+            }
+            for (ContentValues value : values) {
+                if (database.insert(HeadlineEntry.TABLE_NAME, null, value) == -1) {
+                    Log.e(LOG_TAG, "Failed to insert row for " + uri);
+                } else {
+                    inserted++;
+                }
+            }
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+
+        // Notify all listeners that the data has changed for the headlines content URI
+        getContext().getContentResolver().notifyChange(uri, null);
+        return inserted;
+    }
+
+    @Override
+    public int update(Uri uri, ContentValues contentValues, String selection,
+                      String[] selectionArgs) {
+        throw new IllegalArgumentException("Update is not supported for " + uri);
+    }
+
+    @Override
+    public int delete(Uri uri, String selection, String[] selectionArgs) {
+        int match = sUriMatcher.match(uri);
+        if (match != HEADLINES) {
+            throw new IllegalArgumentException("Deletion is not supported for " + uri);
+        }
+
+        SQLiteDatabase database = mDbHelper.getWritableDatabase();
+        int rowsDeleted = database.delete(HeadlineEntry.TABLE_NAME, selection, selectionArgs);
+
+        // If 1 or more rows were deleted, then notify all listeners that the data at the
+        // given URI has changed
+        if (rowsDeleted != 0) {
+            getContext().getContentResolver().notifyChange(uri, null);
+        }
+        return rowsDeleted;
+    }
+
+    @Override
+    public String getType(Uri uri) {
+        int match = sUriMatcher.match(uri);
+        if (match == HEADLINES) {
+            return HeadlineEntry.CONTENT_LIST_TYPE;
+        }
+        throw new IllegalStateException("Unknown URI " + uri + " with match " + match);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.android.womennews;
+
+import android.app.PendingIntent;
+import android.appwidget.AppWidgetManager;
+import android.appwidget.AppWidgetProvider;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.database.Cursor;
+import android.net.Uri;
+import android.view.View;
+import android.widget.RemoteViews;
+
+/**
+ * Home-screen widget that shows the latest headlines of the configured subject.
+ * <p>
+ * The widget only reads the local store through {@link NewsProvider}, it never goes to the
+ * network. It shows a fixed number of rows filled straight from one small indexed query,
+ * instead of a collection backed by a RemoteViewsService, so rendering it takes bounded time
+ * and hardly allocates anything in the launcher's process budget. It is refreshed by
+ * {@link NewsLoader} on its background thread after every load.
+ */
+public class NewsWidgetProvider extends AppWidgetProvider {
+
+    /**
+     * IDs of the TextViews that show the headlines, top to bottom
+     */
+    private static final int[] HEADLINE_VIEW_IDS = {
+            R.id.widget_headline_1,
+            R.id.widget_headline_2,
+            R.id.widget_headline_3
+    };
+
+    @Override
+    public void onUpdate(Context context, AppWidgetManager appWidgetManager, int[] appWidgetIds) {
+        appWidgetManager.updateAppWidget(appWidgetIds, buildViews(context));
+    }
+
+    /**
+     * Renders the latest headlines on every widget the user has placed, if there are any.
+     */
+    static void updateAllWidgets(Context context) {
+        AppWidgetManager appWidgetManager = AppWidgetManager.getInstance(context);
+        int[] appWidgetIds = appWidgetManager.getAppWidgetIds(
+                new ComponentName(context, NewsWidgetProvider.class));
+        if (appWidgetIds.length > 0) {
+            appWidgetManager.updateAppWidget(appWidgetIds, buildViews(context));
+        }
+    }
+
+    /**
+     * Builds the widget views from the local store. Every widget shows the same headlines,
+     * so the views are built once and shared by all of them.
+     */
+    private static RemoteViews buildViews(Context context) {
+        RemoteViews views = new RemoteViews(context.getPackageName(), R.layout.news_widget);
+
+        // Tapping the header opens the app
+        views.setTextViewText(R.id.widget_subject, NewsProvider.configuredSubject(context));
+        PendingIntent appIntent = PendingIntent.getActivity(context, 0,
+                new Intent(context, MainActivity.class), 0);
+        views.setOnClickPendingIntent(R.id.widget_subject, appIntent);
+
+        int shown = 0;
+        Cursor cursor = NewsProvider.queryLatestHeadlines(context, HEADLINE_VIEW_IDS.length);
+        if (cursor != null) {
+            try {
+                while (cursor.moveToNext()) {
+                    int viewId = HEADLINE_VIEW_IDS[shown];
+                    // Show the title without what shows up after the | separator, like the list does
+                    String title = NewsAdapter.splitTitle(
+                            cursor.getString(NewsProvider.INDEX_TITLE))[0];
+                    views.setTextViewText(viewId, title);
+                    views.setViewVisibility(viewId, View.VISIBLE);
+
+                    // Tapping a headline opens the story in a web browser
+                    String url = cursor.getString(NewsProvider.INDEX_URL);
+                    if (url != null) {
+                        Intent websiteIntent = new Intent(Intent.ACTION_VIEW, Uri.parse(url));
+                        views.setOnClickPendingIntent(viewId, PendingIntent.getActivity(
+                                context, shown, websiteIntent, PendingIntent.FLAG_UPDATE_CURRENT));
+                    }
+                    shown++;
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+
+        // Hide the rows that have no headline and show the empty text if there are none at all
+        for (int i = shown; i < HEADLINE_VIEW_IDS.length; i++) {
+            views.setViewVisibility(HEADLINE_VIEW_IDS[i], View.GONE);
+        }
+        views.setViewVisibility(R.id.widget_empty, shown == 0 ? View.VISIBLE : View.GONE);
+        return views;
+    }
+}
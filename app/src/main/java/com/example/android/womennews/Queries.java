@@ -1,6 +1,5 @@
 package com.example.android.womennews;
 
-import android.text.TextUtils;
 import android.util.Log;
 
 import org.json.JSONArray;
@@ -54,6 +53,9 @@ public final class Queries {
         // Extract relevant fields from the JSON response and create a list of {@link News}
         List<News> womennews = extractFeatureFromJson(jsonResponse);
 
+        // Fold the same story published under several sections or with an updated title
+        womennews = NewsDeduplicator.deduplicate(womennews);
+
         // Return the list of {@link News}
         return womennews;
     }
@@ -137,9 +139,9 @@ public final class Queries {
      * Return a list of {@link News} objects that has been built up from
      * parsing the given JSON response.
      */
-    private static List<News> extractFeatureFromJson(String newsJSON) {
+    static List<News> extractFeatureFromJson(String newsJSON) {
         // If the JSON string is empty or null, then return early.
-        if (TextUtils.isEmpty(newsJSON)) {
+        if (newsJSON == null || newsJSON.isEmpty()) {
             return null;
         }
 
@@ -175,9 +177,10 @@ public final class Queries {
                 // Extract the value for the key called "webtitle"
                 String webTitle = currentNews.getString("webTitle");
 
-                JSONArray tagsArray = currentNews.getJSONArray("tags");
+                // Stories without tags have no author, but are shown all the same
+                JSONArray tagsArray = currentNews.optJSONArray("tags");
                 String storyAuthor = null;
-                if (tagsArray.length() > 0) {
+                if (tagsArray != null && tagsArray.length() > 0) {
                     for (int j = 0; j < tagsArray.length(); j++) {
                         // Get a single object at position j within the array of tags
                         JSONObject currentTag = tagsArray.getJSONObject(j);
@@ -0,0 +1,381 @@
+package com.example.android.womennews;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Remembers which stories the user has already opened.
+ * <p>
+ * Every story is identified by a 64-bit hash of its canonical URL. The ids are kept in memory
+ * in a {@link LongHashSet}, so checking a whole refresh worth of stories doesn't box anything,
+ * and on disk in an append-only log of 8-byte ids. Opening a story only appends one id to the
+ * log. Once the log grows past {@link #COMPACT_AT} entries it is rewritten with only the
+ * {@link #MAX_ENTRIES} most recently opened stories.
+ * <p>
+ * Only {@link #load()} reads the file, and it is meant to be called from a background thread.
+ * Marking and looking up stories only touch memory, so they are safe on the main thread; the
+ * appends and rewrites of the log are handed to a single writer thread, in order.
+ */
+public class ReadStateStore {
+
+    /**
+     * Tag for the log messages
+     */
+    private static final String LOG_TAG = ReadStateStore.class.getSimpleName();
+
+    /**
+     * Name of the log file in the app's files directory
+     */
+    private static final String FILE_NAME = "read_stories.log";
+
+    /**
+     * Number of most recently opened stories kept after compacting the log
+     */
+    static final int MAX_ENTRIES = 10000;
+
+    /**
+     * Size of the log that triggers compacting it. The slack above {@link #MAX_ENTRIES} makes
+     * sure the log is only rewritten once in a while instead of on every opened story.
+     */
+    static final int COMPACT_AT = MAX_ENTRIES + MAX_ENTRIES / 4;
+
+    /**
+     * Number of ids the in-memory structures have room for before anything has been loaded
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Shared instance used by the activity and the loader
+     */
+    private static ReadStateStore sInstance;
+
+    /**
+     * Log file backing the store
+     */
+    private final File mFile;
+
+    /**
+     * Runs the writes of the log file one after the other, off the calling thread
+     */
+    private final Executor mWriter;
+
+    /**
+     * Held while the log file is read, so it is only read once
+     */
+    private final Object mLoadLock = new Object();
+
+    /**
+     * Ids of the opened stories, for fast lookups. It starts small and is sized for the log
+     * once that has been read.
+     */
+    private LongHashSet mIds = new LongHashSet(INITIAL_CAPACITY);
+
+    /**
+     * Ids of the opened stories in the order they were opened, the same as in the log file
+     */
+    private long[] mLog = new long[INITIAL_CAPACITY];
+
+    /**
+     * Number of ids in the log
+     */
+    private int mLogSize;
+
+    /**
+     * Whether the log file has been read yet
+     */
+    private boolean mLoaded;
+
+    /**
+     * Constructs a new {@link ReadStateStore} backed by the given log file, which is written
+     * by the given executor. The file is read by {@link #load()}.
+     */
+    ReadStateStore(File file, Executor writer) {
+        mFile = file;
+        mWriter = writer;
+    }
+
+    /**
+     * Returns the store of the app, creating it if needed.
+     */
+    public static synchronized ReadStateStore getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new ReadStateStore(
+                    new File(context.getApplicationContext().getFilesDir(), FILE_NAME),
+                    Executors.newSingleThreadExecutor());
+        }
+        return sInstance;
+    }
+
+    /**
+     * Returns the id of the story with the given URL.
+     */
+    static long storyId(String url) {
+        String canonical = NewsDeduplicator.canonicalUrl(url);
+        if (canonical == null) {
+            canonical = "";
+        }
+        return NewsDeduplicator.hash64(canonical);
+    }
+
+    /**
+     * Returns true if the story with the given URL has been opened before.
+     */
+    public boolean isRead(String url) {
+        return isRead(storyId(url));
+    }
+
+    /**
+     * Returns true if the story with the given id has been opened before. Until the log has
+     * been loaded only the stories opened since the app started are known.
+     */
+    public synchronized boolean isRead(long id) {
+        return mIds.contains(id);
+    }
+
+    /**
+     * Remembers that the story with the given URL has been opened.
+     */
+    public void markRead(String url) {
+        markRead(storyId(url));
+    }
+
+    /**
+     * Remembers that the story with the given id has been opened. The id is written to the
+     * log in the background.
+     */
+    public synchronized void markRead(final long id) {
+        if (!mIds.add(id)) {
+            return;
+        }
+        appendToMemory(id);
+
+        if (mLoaded && mLogSize >= COMPACT_AT) {
+            compact();
+            return;
+        }
+        mWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                appendToFile(id);
+            }
+        });
+    }
+
+    /**
+     * Returns the stories sorted with the unread ones first, keeping the original order within
+     * each group. If hideRead is true the read stories are left out.
+     * <p>
+     * This loads the log if it hasn't been loaded yet, so call it from a background thread.
+     */
+    public List<News> unreadFirst(List<News> womennews, boolean hideRead) {
+        if (womennews == null) {
+            return null;
+        }
+        load();
+
+        // Hash the URLs before taking the lock, so the main thread isn't kept waiting
+        long[] ids = new long[womennews.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = storyId(womennews.get(i).getUrl());
+        }
+        boolean[] isRead = new boolean[ids.length];
+        synchronized (this) {
+            for (int i = 0; i < ids.length; i++) {
+                isRead[i] = mIds.contains(ids[i]);
+            }
+        }
+
+        List<News> unread = new ArrayList<>(womennews.size());
+        List<News> read = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (isRead[i]) {
+                read.add(womennews.get(i));
+            } else {
+                unread.add(womennews.get(i));
+            }
+        }
+        if (!hideRead) {
+            unread.addAll(read);
+        }
+        return unread;
+    }
+
+    /**
+     * Returns the number of stories remembered as read.
+     */
+    public synchronized int size() {
+        return mIds.size();
+    }
+
+    /**
+     * Reads the log file into memory if it hasn't been read yet. This reads from the disk, so
+     * call it from a background thread. The store isn't locked while the file is read.
+     */
+    public void load() {
+        synchronized (mLoadLock) {
+            synchronized (this) {
+                if (mLoaded) {
+                    return;
+                }
+            }
+
+            long[] logged = new long[0];
+            int loggedSize = 0;
+            boolean needsCompacting = false;
+            if (mFile.exists()) {
+                long length = mFile.length();
+                needsCompacting = length % 8 != 0;
+                logged = new long[(int) (length / 8)];
+                DataInputStream input = null;
+                try {
+                    input = new DataInputStream(
+                            new BufferedInputStream(new FileInputStream(mFile)));
+                    while (loggedSize < logged.length) {
+                        logged[loggedSize] = input.readLong();
+                        loggedSize++;
+                    }
+                } catch (EOFException e) {
+                    // The file was shorter than expected, keep what has been read so far
+                    needsCompacting = true;
+                } catch (IOException e) {
+                    Log.e(LOG_TAG, "Problem reading the read stories log.", e);
+                } finally {
+                    closeQuietly(input);
+                }
+            }
+
+            synchronized (this) {
+                // Put the logged stories before the ones opened while the file was being read
+                long[] openedMeanwhile = Arrays.copyOf(mLog, mLogSize);
+                int expectedSize = loggedSize + openedMeanwhile.length;
+                mIds = new LongHashSet(expectedSize);
+                mLog = new long[Math.max(INITIAL_CAPACITY, expectedSize)];
+                mLogSize = 0;
+                for (int i = 0; i < loggedSize; i++) {
+                    if (mIds.add(logged[i])) {
+                        appendToMemory(logged[i]);
+                    } else {
+                        needsCompacting = true;
+                    }
+                }
+                for (long id : openedMeanwhile) {
+                    if (mIds.add(id)) {
+                        appendToMemory(id);
+                    }
+                }
+                mLoaded = true;
+
+                // Rewrite the log if it's too long, has repeated ids or a half written id
+                if (needsCompacting || mLogSize >= COMPACT_AT) {
+                    compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the id at the end of the in-memory log, growing it if needed.
+     */
+    private void appendToMemory(long id) {
+        if (mLogSize == mLog.length) {
+            long[] grown = new long[mLog.length * 2];
+            System.arraycopy(mLog, 0, grown, 0, mLogSize);
+            mLog = grown;
+        }
+        mLog[mLogSize++] = id;
+    }
+
+    /**
+     * Keeps only the {@link #MAX_ENTRIES} most recently opened stories and has the log file
+     * rewritten with them in the background.
+     */
+    private void compact() {
+        int dropped = Math.max(0, mLogSize - MAX_ENTRIES);
+        if (dropped > 0) {
+            System.arraycopy(mLog, dropped, mLog, 0, mLogSize - dropped);
+            mLogSize -= dropped;
+            mIds.clear();
+            for (int i = 0; i < mLogSize; i++) {
+                mIds.add(mLog[i]);
+            }
+        }
+
+        final long[] ids = Arrays.copyOf(mLog, mLogSize);
+        mWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                rewriteFile(ids);
+            }
+        });
+    }
+
+    /**
+     * Appends the id to the log file. Only called on the writer thread. The 8 bytes go out in
+     * a single write, in the same byte order as {@link DataOutputStream#writeLong(long)}, so a
+     * crash can hardly leave half an id behind.
+     */
+    private void appendToFile(long id) {
+        FileOutputStream output = null;
+        try {
+            output = new FileOutputStream(mFile, true);
+            output.write(ByteBuffer.allocate(8).putLong(id).array());
+        } catch (IOException e) {
+            Log.e(LOG_TAG, "Problem writing the read stories log.", e);
+        } finally {
+            closeQuietly(output);
+        }
+    }
+
+    /**
+     * Replaces the log file with the given ids. The new log is written next to the old one
+     * and then renamed over it, so a failed write never loses the old log. Only called on the
+     * writer thread.
+     */
+    private void rewriteFile(long[] ids) {
+        File compacted = new File(mFile.getPath() + ".tmp");
+        DataOutputStream output = null;
+        try {
+            output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(compacted)));
+            for (long id : ids) {
+                output.writeLong(id);
+            }
+            output.close();
+            output = null;
+            if (!compacted.renameTo(mFile)) {
+                Log.e(LOG_TAG, "Problem replacing the read stories log.");
+            }
+        } catch (IOException e) {
+            Log.e(LOG_TAG, "Problem compacting the read stories log.", e);
+        } finally {
+            closeQuietly(output);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                Log.e(LOG_TAG, "Problem closing the read stories log.", e);
+            }
+        }
+    }
+}
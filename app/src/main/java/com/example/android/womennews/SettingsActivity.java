@@ -28,6 +28,9 @@ public class SettingsActivity extends AppCompatActivity {
 
             Preference orderBy = findPreference(getString(R.string.settings_order_by_key));
             bindPreferenceSummaryToValue(orderBy);
+
+            Preference readStories = findPreference(getString(R.string.settings_read_stories_key));
+            bindPreferenceSummaryToValue(readStories);
         }
 
         @Override
@@ -0,0 +1,186 @@
+package com.example.android.womennews;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local HTTP server that stands in for the Guardian API in the local tests and benchmarks.
+ * <p>
+ * Every request to {@code /search} is answered with one of the canned responses in the
+ * {@code fixtures} test resources, which follow the format of the Guardian search API. The server can wait before answering and limit how fast
+ * the body is sent, to replay the fixtures the way a slow mobile network would deliver them.
+ */
+class GuardianStubServer implements HttpHandler {
+
+    /**
+     * Response with a few stories
+     */
+    static final String SMALL = "search_small.json";
+
+    /**
+     * Synthetic response with a few hundred stories, some of them duplicates. It is generated
+     * rather than captured from the live API: the same story in several sections, live blogs
+     * with updated titles and identical headlines are mixed in on purpose.
+     */
+    static final String LARGE = "search_large.json";
+
+    /**
+     * Response that was cut off in the middle of the results
+     */
+    static final String MALFORMED = "search_malformed.json";
+
+    /**
+     * Response with stories that have no tags or no tags array at all
+     */
+    static final String MISSING_TAGS = "search_missing_tags.json";
+
+    /**
+     * Size of the chunks the body is written in when the bandwidth is limited
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final HttpServer mServer;
+
+    private final ExecutorService mExecutor = Executors.newCachedThreadPool();
+
+    private volatile byte[] mBody;
+
+    private volatile int mResponseCode = 200;
+
+    private volatile long mLatencyMillis;
+
+    private volatile long mBytesPerSecond;
+
+    /**
+     * Constructs a new {@link GuardianStubServer} replaying the given fixture. The server
+     * listens on a free port of the loopback interface once {@link #start()} is called.
+     */
+    GuardianStubServer(String fixture) throws IOException {
+        mBody = readFixture(fixture);
+        mServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        mServer.createContext("/search", this);
+        mServer.setExecutor(mExecutor);
+    }
+
+    /**
+     * Returns the content of a fixture from the test resources.
+     */
+    static byte[] readFixture(String fixture) throws IOException {
+        InputStream input = GuardianStubServer.class.getClassLoader()
+                .getResourceAsStream("fixtures/" + fixture);
+        if (input == null) {
+            throw new IOException("No fixture named " + fixture);
+        }
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Returns the content of a fixture from the test resources as a string.
+     */
+    static String readFixtureString(String fixture) throws IOException {
+        return new String(readFixture(fixture), Charset.forName("UTF-8"));
+    }
+
+    void start() {
+        mServer.start();
+    }
+
+    void stop() {
+        mServer.stop(0);
+        mExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the URL of the search endpoint with the given query string appended.
+     */
+    String searchUrl(String query) {
+        return "http://" + mServer.getAddress().getHostString() + ":"
+                + mServer.getAddress().getPort() + "/search?" + query;
+    }
+
+    /**
+     * Replays another fixture from now on.
+     */
+    void setFixture(String fixture) throws IOException {
+        mBody = readFixture(fixture);
+    }
+
+    /**
+     * Answers with the given HTTP status code from now on. The fixture is still sent as body.
+     */
+    void setResponseCode(int responseCode) {
+        mResponseCode = responseCode;
+    }
+
+    /**
+     * Waits the given time before sending the response headers.
+     */
+    void setLatencyMillis(long latencyMillis) {
+        mLatencyMillis = latencyMillis;
+    }
+
+    /**
+     * Limits how fast the body is sent, or sends it at full speed if zero.
+     */
+    void setBytesPerSecond(long bytesPerSecond) {
+        mBytesPerSecond = bytesPerSecond;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        byte[] body = mBody;
+        long bytesPerSecond = mBytesPerSecond;
+        try {
+            sleep(mLatencyMillis);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(mResponseCode, body.length);
+            OutputStream output = exchange.getResponseBody();
+            if (bytesPerSecond <= 0) {
+                output.write(body);
+            } else {
+                for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+                    int length = Math.min(CHUNK_SIZE, body.length - offset);
+                    output.write(body, offset, length);
+                    output.flush();
+                    sleep(length * 1000L / bytesPerSecond);
+                }
+            }
+            output.close();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while replaying a fixture", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.android.womennews;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the stages a refresh goes through: fetching the response, parsing it into
+ * {@link News} objects, folding the duplicates and building what the list items display.
+ * <p>
+ * The responses are replayed from the fixtures by a {@link GuardianStubServer}, so the
+ * numbers don't depend on the network. The de-duplication is also measured on a corpus of
+ * a few thousand stories generated from the large fixture. Run them with {@code ./gradlew :app:benchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewsBenchmark {
+
+    /**
+     * Number of stories in the generated corpus
+     */
+    private static final int CORPUS_STORIES = 3000;
+
+    @Param({GuardianStubServer.SMALL, GuardianStubServer.LARGE})
+    public String fixture;
+
+    private GuardianStubServer mServer;
+
+    private String mUrl;
+
+    private String mJson;
+
+    private List<News> mParsed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mServer = new GuardianStubServer(fixture);
+        mServer.start();
+        mUrl = mServer.searchUrl("q=women&page-size=16");
+        mJson = GuardianStubServer.readFixtureString(fixture);
+        mParsed = Queries.extractFeatureFromJson(mJson);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mServer.stop();
+    }
+
+    /**
+     * The whole background part of a refresh: HTTP request, parsing and de-duplication.
+     */
+    @Benchmark
+    public List<News> fetch() {
+        return Queries.bringWomenNewsData(mUrl);
+    }
+
+    @Benchmark
+    public List<News> parse() {
+        return Queries.extractFeatureFromJson(mJson);
+    }
+
+    @Benchmark
+    public List<News> deduplicate() {
+        return NewsDeduplicator.deduplicate(mParsed);
+    }
+
+    /**
+     * De-duplication of the generated corpus, which is always built from the large fixture.
+     */
+    @Benchmark
+    public List<News> deduplicateCorpus(GeneratedCorpus corpus) {
+        return NewsDeduplicator.deduplicate(corpus.womennews);
+    }
+
+    /**
+     * Builds the texts {@link NewsAdapter} shows for every story.
+     */
+    @Benchmark
+    public void displayModel(Blackhole blackhole) {
+        for (News news : mParsed) {
+            blackhole.consume(NewsAdapter.splitPublicationDate(news.getWebPublicationDate()));
+            blackhole.consume(NewsAdapter.splitTitle(news.getWebTitle()));
+        }
+    }
+
+    /**
+     * A few thousand stories built from the titles of the large fixture: the fixture itself,
+     * followed by reworded copies published the same day under a new URL. Every copy swaps one
+     * word of the original title for another word of the fixture's titles, and every third one
+     * is also marked as a live blog, so the copies share buckets and words with the originals
+     * the way real headlines about the same subjects do.
+     */
+    @State(Scope.Benchmark)
+    public static class GeneratedCorpus {
+
+        List<News> womennews;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            List<News> fixture = Queries.extractFeatureFromJson(
+                    GuardianStubServer.readFixtureString(GuardianStubServer.LARGE));
+            List<String> vocabulary = new ArrayList<>();
+            for (News news : fixture) {
+                vocabulary.addAll(Arrays.asList(headlineWords(news)));
+            }
+
+            Random random = new Random(42);
+            womennews = new ArrayList<>(CORPUS_STORIES);
+            womennews.addAll(fixture);
+            for (int i = fixture.size(); i < CORPUS_STORIES; i++) {
+                News original = fixture.get(i % fixture.size());
+                String[] words = headlineWords(original);
+                words[random.nextInt(words.length)] =
+                        vocabulary.get(random.nextInt(vocabulary.size()));
+                StringBuilder title = new StringBuilder();
+                for (String word : words) {
+                    if (title.length() > 0) {
+                        title.append(' ');
+                    }
+                    title.append(word);
+                }
+                if (i % 3 == 0) {
+                    title.append(" – live");
+                }
+                womennews.add(new News(original.getSectionName(),
+                        original.getWebPublicationDate(), title.toString(), null,
+                        original.getUrl() + "-" + i));
+            }
+        }
+
+        /**
+         * Returns the words of the title without what shows up after the | separator.
+         */
+        private static String[] headlineWords(News news) {
+            return NewsAdapter.splitTitle(news.getWebTitle())[0].trim().split(" ");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.android.womennews;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit tests for {@link NewsDeduplicator}.
+ */
+public class NewsDeduplicatorTest {
+
+    @Test
+    public void sameUrlInAnotherSection_isFolded() {
+        List<News> womennews = Arrays.asList(
+                story("World news", "Women march for equal pay in Reykjavik",
+                        "https://www.theguardian.com/world/2018/oct/24/equal-pay"),
+                story("Society", "Women march for equal pay in Iceland",
+                        "http://www.theguardian.com/world/2018/oct/24/equal-pay/?CMP=share#comments"));
+
+        List<News> unique = NewsDeduplicator.deduplicate(womennews);
+
+        assertEquals(1, unique.size());
+        assertSame(womennews.get(0), unique.get(0));
+    }
+
+    @Test
+    public void updatedTitle_isFolded() {
+        List<News> womennews = Arrays.asList(
+                story("Football", "Women's football: England beat Spain to reach Euro final",
+                        "https://www.theguardian.com/football/live/1"),
+                story("Sport", "Women's football: England beat Spain to reach the Euro final | Live",
+                        "https://www.theguardian.com/football/live/2"));
+
+        assertEquals(1, NewsDeduplicator.deduplicate(womennews).size());
+    }
+
+    @Test
+    public void differentStories_areKept() {
+        List<News> womennews = Arrays.asList(
+                story("Business", "Gender pay gap widens for fourth year in a row, figures show",
+                        "https://www.theguardian.com/business/1"),
+                story("Business", "Women win landmark equal pay case against supermarket chain",
+                        "https://www.theguardian.com/business/2"),
+                story("Sport", "", "https://www.theguardian.com/sport/3"),
+                story("Sport", "", "https://www.theguardian.com/sport/4"));
+
+        assertEquals(4, NewsDeduplicator.deduplicate(womennews).size());
+    }
+
+    @Test
+    public void nearMissTitles_areKept() {
+        assertKept("Women's football: England v Spain – live",
+                "Women's football: England v Germany – live");
+        assertKept("The Guardian view on women in politics",
+                "The Guardian view on women in sport");
+        assertKept("Serena Williams wins US Open semi-final",
+                "Venus Williams wins US Open semi-final");
+        assertKept("Gender pay gap widens for fourth year in a row, figures show",
+                "Gender pay gap narrows for fourth year in a row, figures show");
+    }
+
+    @Test
+    public void shortTitleInsideLongerOne_isKept() {
+        assertKept("Women's football",
+                "Women's football: England beat Spain to reach Euro final");
+        assertKept("Women celebrate parliamentary seats",
+                "Women directors celebrate parliamentary seats");
+    }
+
+    @Test
+    public void sameTitleOnDifferentDays_isKept() {
+        List<News> womennews = Arrays.asList(
+                new News("Football", "2018-10-24T19:00:00Z",
+                        "Women's football: England v Spain – live", null,
+                        "https://www.theguardian.com/football/live/2018/oct/24/england-spain"),
+                new News("Football", "2018-10-21T19:00:00Z",
+                        "Women's football: England v Spain – live", null,
+                        "https://www.theguardian.com/football/live/2018/oct/21/england-spain"),
+                new News("News", "2018-10-24T06:00:00Z",
+                        "Corrections and clarifications", null,
+                        "https://www.theguardian.com/news/2018/oct/24/corrections"),
+                new News("News", "2018-10-23T05:00:00Z",
+                        "Corrections and clarifications", null,
+                        "https://www.theguardian.com/news/2018/oct/23/corrections"));
+
+        assertEquals(4, NewsDeduplicator.deduplicate(womennews).size());
+    }
+
+    @Test
+    public void sameTitleWithoutDate_isKept() {
+        List<News> womennews = Arrays.asList(
+                story("World news", "Women march for equal pay in Iceland",
+                        "https://www.theguardian.com/world/1"),
+                new News("World news", null, "Women march for equal pay in Iceland", null,
+                        "https://www.theguardian.com/world/2"));
+
+        assertEquals(2, NewsDeduplicator.deduplicate(womennews).size());
+    }
+
+    @Test
+    public void emptyInput_isReturnedAsIs() {
+        assertNull(NewsDeduplicator.deduplicate(null));
+        assertTrue(NewsDeduplicator.deduplicate(new ArrayList<News>()).isEmpty());
+    }
+
+    @Test
+    public void normalizeTitle_cutsSuffixAndPunctuation() {
+        assertEquals("women s football england 2 1 spain",
+                NewsDeduplicator.normalizeTitle("Women's Football – England 2-1 Spain | Suzanne Wrack"));
+    }
+
+    private static void assertKept(String firstTitle, String secondTitle) {
+        List<News> womennews = Arrays.asList(
+                story("Sport", firstTitle, "https://www.theguardian.com/sport/1"),
+                story("Sport", secondTitle, "https://www.theguardian.com/sport/2"));
+
+        assertEquals(firstTitle + " / " + secondTitle,
+                2, NewsDeduplicator.deduplicate(womennews).size());
+    }
+
+    private static News story(String sectionName, String webTitle, String url) {
+        return new News(sectionName, "2018-10-24T10:00:00Z", webTitle, null, url);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.android.womennews;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit tests for {@link Queries}, replaying canned Guardian responses from a
+ * {@link GuardianStubServer} instead of going to the network.
+ */
+public class QueriesTest {
+
+    private GuardianStubServer mServer;
+
+    @Before
+    public void startServer() throws Exception {
+        mServer = new GuardianStubServer(GuardianStubServer.SMALL);
+        mServer.start();
+    }
+
+    @After
+    public void stopServer() {
+        mServer.stop();
+    }
+
+    @Test
+    public void smallResponse_isParsed() {
+        List<News> womennews = Queries.bringWomenNewsData(mServer.searchUrl("q=women"));
+
+        assertEquals(3, womennews.size());
+        News first = womennews.get(0);
+        assertEquals("World news", first.getSectionName());
+        assertEquals("2018-10-24T10:15:00Z", first.getWebPublicationDate());
+        assertEquals("Women march for equal pay in Iceland | Jon Henley", first.getWebTitle());
+        assertTrue(first.getUrl().startsWith("https://www.theguardian.com/world/2018/oct/24/"));
+    }
+
+    @Test
+    public void largeResponse_isParsedAndDeduplicated() throws Exception {
+        mServer.setFixture(GuardianStubServer.LARGE);
+
+        List<News> parsed = Queries.extractFeatureFromJson(
+                GuardianStubServer.readFixtureString(GuardianStubServer.LARGE));
+        List<News> womennews = Queries.bringWomenNewsData(mServer.searchUrl("q=women"));
+
+        assertEquals(400, parsed.size());
+        // 29 repeats of a URL in another section, 22 live blogs with an updated title and
+        // 1 identical headline published the same day are folded into the stories they
+        // repeat. The 6 identical headlines published days apart are kept.
+        assertEquals(348, womennews.size());
+    }
+
+    @Test
+    public void malformedResponse_givesEmptyList() throws Exception {
+        mServer.setFixture(GuardianStubServer.MALFORMED);
+
+        List<News> womennews = Queries.bringWomenNewsData(mServer.searchUrl("q=women"));
+
+        assertTrue(womennews.isEmpty());
+    }
+
+    @Test
+    public void missingTags_storiesAreStillParsed() throws Exception {
+        mServer.setFixture(GuardianStubServer.MISSING_TAGS);
+
+        List<News> womennews = Queries.bringWomenNewsData(mServer.searchUrl("q=women"));
+
+        // The first story has an empty tags array, the second one has none at all
+        assertEquals(3, womennews.size());
+        assertEquals("Women march for equal pay in Iceland", womennews.get(0).getWebTitle());
+        assertEquals("Lionesses name squad for World Cup warm-up matches",
+                womennews.get(1).getWebTitle());
+        assertEquals("Gender pay gap widens for fourth year in a row, figures show",
+                womennews.get(2).getWebTitle());
+    }
+
+    @Test
+    public void errorResponse_givesNull() {
+        mServer.setResponseCode(500);
+
+        assertNull(Queries.bringWomenNewsData(mServer.searchUrl("q=women")));
+    }
+
+    @Test
+    public void latencyAndBandwidth_areReplayed() throws Exception {
+        byte[] body = GuardianStubServer.readFixture(GuardianStubServer.SMALL);
+        mServer.setLatencyMillis(200);
+        mServer.setBytesPerSecond(body.length * 4);
+
+        long start = System.nanoTime();
+        List<News> womennews = Queries.bringWomenNewsData(mServer.searchUrl("q=women"));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertEquals(3, womennews.size());
+        // 200 ms of latency plus a quarter of a second to send the body
+        assertTrue("Took only " + elapsedMillis + " ms", elapsedMillis >= 400);
+    }
+
+    @Test
+    public void displayModel_splitsDateAndTitle() {
+        assertArrayEquals(new String[]{"2018-10-24", " 10:15"},
+                NewsAdapter.splitPublicationDate("2018-10-24T10:15:00Z"));
+        assertNull(NewsAdapter.splitPublicationDate("2018-10-24"));
+        assertArrayEquals(new String[]{"Women march for equal pay ", "Jon Henley"},
+                NewsAdapter.splitTitle("Women march for equal pay | Jon Henley"));
+        assertArrayEquals(new String[]{"Women march for equal pay", null},
+                NewsAdapter.splitTitle("Women march for equal pay"));
+    }
+}
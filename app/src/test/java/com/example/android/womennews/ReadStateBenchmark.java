@@ -0,0 +1,120 @@
+package com.example.android.womennews;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the read state: filling and querying the {@link LongHashSet} behind
+ * {@link ReadStateStore}, and sorting a refresh with the unread stories first.
+ * Run them with {@code ./gradlew :app:benchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadStateBenchmark {
+
+    /**
+     * Number of random ids added to and looked up in the set
+     */
+    private static final int IDS = 100000;
+
+    private long[] mIds;
+
+    private LongHashSet mFilledSet;
+
+    private File mFile;
+
+    private ExecutorService mWriter;
+
+    private ReadStateStore mStore;
+
+    private List<News> mParsed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        mIds = new long[IDS];
+        mFilledSet = new LongHashSet(IDS);
+        for (int i = 0; i < mIds.length; i++) {
+            mIds[i] = random.nextLong();
+            mFilledSet.add(mIds[i]);
+        }
+
+        // Every third story of the large fixture has been opened before
+        mParsed = Queries.extractFeatureFromJson(
+                GuardianStubServer.readFixtureString(GuardianStubServer.LARGE));
+        mFile = File.createTempFile("read_stories", ".log");
+        mFile.delete();
+        mWriter = Executors.newSingleThreadExecutor();
+        mStore = new ReadStateStore(mFile, mWriter);
+        mStore.load();
+        for (int i = 0; i < mParsed.size(); i += 3) {
+            mStore.markRead(mParsed.get(i).getUrl());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mWriter.shutdown();
+        mFile.delete();
+        new File(mFile.getPath() + ".tmp").delete();
+    }
+
+    /**
+     * Adds all ids to a set sized for them, as loading the log does.
+     */
+    @Benchmark
+    public LongHashSet add() {
+        LongHashSet set = new LongHashSet(mIds.length);
+        for (long id : mIds) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    /**
+     * Looks up every id that is in the set and as many that are not.
+     */
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (long id : mIds) {
+            if (mFilledSet.contains(id)) {
+                found++;
+            }
+            if (mFilledSet.contains(~id)) {
+                found--;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Sorts the large fixture the way {@link NewsLoader} does after every refresh.
+     */
+    @Benchmark
+    public List<News> unreadFirst() {
+        return mStore.unreadFirst(mParsed, false);
+    }
+}
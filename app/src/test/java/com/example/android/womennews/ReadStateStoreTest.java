@@ -0,0 +1,164 @@
+package com.example.android.womennews;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit tests for {@link ReadStateStore} and the {@link LongHashSet} behind it.
+ */
+public class ReadStateStoreTest {
+
+    /**
+     * Runs the writes of the log right away, so the tests can check the file afterwards
+     */
+    private static final Executor DIRECT_WRITER = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private File mFile;
+
+    @Before
+    public void createFile() throws IOException {
+        mFile = File.createTempFile("read_stories", ".log");
+        mFile.delete();
+    }
+
+    @After
+    public void deleteFile() {
+        mFile.delete();
+        new File(mFile.getPath() + ".tmp").delete();
+    }
+
+    @Test
+    public void readStories_surviveRestart() {
+        ReadStateStore store = newStore();
+        store.markRead("https://www.theguardian.com/world/2018/oct/24/equal-pay");
+        store.markRead("https://www.theguardian.com/sport/2018/oct/24/football");
+
+        ReadStateStore restarted = newStore();
+        restarted.load();
+
+        assertEquals(2, restarted.size());
+        assertTrue(restarted.isRead("http://www.theguardian.com/world/2018/oct/24/equal-pay?CMP=share"));
+        assertTrue(restarted.isRead("https://www.theguardian.com/sport/2018/oct/24/football"));
+        assertFalse(restarted.isRead("https://www.theguardian.com/society/2018/oct/24/other"));
+    }
+
+    @Test
+    public void markingTwice_isLoggedOnce() {
+        ReadStateStore store = newStore();
+        store.markRead("https://www.theguardian.com/world/1");
+        store.markRead("https://www.theguardian.com/world/1/");
+
+        assertEquals(8, mFile.length());
+    }
+
+    @Test
+    public void halfWrittenEntry_isDropped() throws IOException {
+        ReadStateStore store = newStore();
+        store.markRead("https://www.theguardian.com/world/1");
+        FileOutputStream output = new FileOutputStream(mFile, true);
+        output.write(new byte[]{1, 2, 3});
+        output.close();
+
+        ReadStateStore restarted = newStore();
+        restarted.load();
+
+        assertEquals(1, restarted.size());
+        assertTrue(restarted.isRead("https://www.theguardian.com/world/1"));
+        assertEquals(8, mFile.length());
+    }
+
+    @Test
+    public void longLog_isCompactedToMostRecent() {
+        ReadStateStore store = newStore();
+        store.load();
+        for (long id = 1; id <= ReadStateStore.COMPACT_AT; id++) {
+            store.markRead(id);
+        }
+
+        assertEquals(ReadStateStore.MAX_ENTRIES * 8L, mFile.length());
+
+        ReadStateStore restarted = newStore();
+        restarted.load();
+        assertEquals(ReadStateStore.MAX_ENTRIES, restarted.size());
+        assertFalse(restarted.isRead(1L));
+        assertTrue(restarted.isRead((long) ReadStateStore.COMPACT_AT));
+    }
+
+    @Test
+    public void storiesOpenedBeforeLoading_areKept() {
+        newStore().markRead("https://www.theguardian.com/world/1");
+        ReadStateStore restarted = newStore();
+        restarted.markRead("https://www.theguardian.com/world/2");
+
+        assertTrue(restarted.isRead("https://www.theguardian.com/world/2"));
+        assertFalse(restarted.isRead("https://www.theguardian.com/world/1"));
+
+        restarted.load();
+
+        assertEquals(2, restarted.size());
+        assertTrue(restarted.isRead("https://www.theguardian.com/world/1"));
+        assertEquals(16, mFile.length());
+    }
+
+    @Test
+    public void unreadFirst_keepsOrderWithinGroups() {
+        News first = story("https://www.theguardian.com/world/1");
+        News second = story("https://www.theguardian.com/world/2");
+        News third = story("https://www.theguardian.com/world/3");
+        ReadStateStore store = newStore();
+        store.markRead(first.getUrl());
+
+        List<News> sorted = store.unreadFirst(Arrays.asList(first, second, third), false);
+        assertEquals(Arrays.asList(second, third, first), sorted);
+
+        List<News> hidden = store.unreadFirst(Arrays.asList(first, second, third), true);
+        assertEquals(Arrays.asList(second, third), hidden);
+    }
+
+    @Test
+    public void storyId_staysTheSame() {
+        // The ids are stored in the log, so changing the hash would forget every opened story
+        assertEquals(0x1d40cbaac67fa51dL,
+                ReadStateStore.storyId("https://www.theguardian.com/world/2018/oct/24/equal-pay"));
+    }
+
+    @Test
+    public void longHashSet_handlesZeroAndGrowth() {
+        LongHashSet set = new LongHashSet(1);
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        for (long value = 1; value <= 1000; value++) {
+            assertTrue(set.add(value << 40));
+        }
+
+        assertEquals(1001, set.size());
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(1000L << 40));
+        assertFalse(set.contains(1001L << 40));
+    }
+
+    private ReadStateStore newStore() {
+        return new ReadStateStore(mFile, DIRECT_WRITER);
+    }
+
+    private static News story(String url) {
+        return new News("World news", "2018-10-24T10:00:00Z", "Story " + url, null, url);
+    }
+}